@@ -1,9 +1,31 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
 public class CustomDoublyLinkedList<T> {
 
     private Node<T> firstNode;
     private Node<T> lastNode;
     private Node<T> middleNode;
     private int size;
+    private boolean middleStale;
+    private ListMetrics metrics;
+    private final List<WindowAggregate<T, ?>> windowAggregates = new ArrayList<>();
+    private LongSupplier expiryClock;
+    private long timeToLiveNanos;
+    private long expiredCount;
+    private long consumedCount;
     private boolean isStack;
     private boolean isQueue;
 
@@ -36,11 +58,32 @@ public class CustomDoublyLinkedList<T> {
         if (value == null)
             throw new IllegalArgumentException();
 
-        Node<T> node = new Node<>(value);
-        if (empty()) {
+        expireStale();
+        Node<T> node = newNode(value);
+        if (expiryClock != null)
+            node.timestamp = expiryClock.getAsLong();
+
+        addFirstNode(node);
+        recordOperation(ListMetrics.Operation.ADD, 0);
+    }
+
+    /**
+     * Links a detached node to the start of the linked list structure.
+     * O(1) operation.
+     *
+     * @param node : Node to link.
+     * @return The linked node.
+     */
+    Node<T> addFirstNode(Node<T> node) {
+        for (int i = 0; i < windowAggregates.size(); i++) {
+            windowAggregates.get(i).addNewest(node.value);
+        }
+
+        if (isEmpty()) {
             firstNode = lastNode = middleNode = node;
+            middleStale = false;
             size++;
-            return;
+            return node;
         }
 
         Node<T> nextNode = firstNode;
@@ -49,9 +92,68 @@ public class CustomDoublyLinkedList<T> {
         firstNode.next.previous = firstNode;
         size++;
 
-        if ((size() % 2) != 0) {
+        if (!middleStale && (size % 2) != 0) {
             middleNode = middleNode.previous;
         }
+
+        return node;
+    }
+
+    /**
+     * Unlinks the provided node from any position of the linked list structure.
+     * O(1) operation, the middle node is located again on its next use.
+     *
+     * @param node : Node of this list to unlink.
+     */
+    void unlink(Node<T> node) {
+        if (node == firstNode) {
+            removeFirst();
+        } else if (node == lastNode) {
+            removeLast();
+        } else {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.next = node.previous = null;
+            middleStale = true;
+            invalidateWindowAggregates();
+            size--;
+        }
+
+        recordOperation(ListMetrics.Operation.UNLINK, 0);
+    }
+
+    /**
+     * Moves the provided node to the start of the linked list structure.
+     * O(1) operation, the middle node is located again on its next use.
+     *
+     * @param node : Node of this list to move.
+     */
+    void moveToFront(Node<T> node) {
+        if (node == firstNode)
+            return;
+
+        if (node == lastNode) {
+            lastNode = node.previous;
+            lastNode.next = null;
+        } else {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+        }
+
+        node.previous = null;
+        node.next = firstNode;
+        firstNode.previous = node;
+        firstNode = node;
+        middleStale = true;
+        invalidateWindowAggregates();
+        recordOperation(ListMetrics.Operation.MOVE_TO_FRONT, 0);
+    }
+
+    /**
+     * Returns the last node of the linked list structure.
+     */
+    Node<T> tailNode() {
+        return lastNode;
     }
 
     /**
@@ -96,7 +198,9 @@ public class CustomDoublyLinkedList<T> {
             throw new WrongMethodException("Linked list is defined as a queue, " +
                     "please use appropriately named remove() function.");
 
-        return removeFirst();
+        T value = removeFirst();
+        recordOperation(ListMetrics.Operation.REMOVE_FIRST, 0);
+        return value;
     }
 
     /**
@@ -111,16 +215,22 @@ public class CustomDoublyLinkedList<T> {
             throw new WrongMethodException("Linked list is defined as a stack, " +
                     "please use appropriately named pop function.");
 
-        return removeLast();
+        expireStale();
+        T value = removeLast();
+        consumedCount++;
+        recordOperation(ListMetrics.Operation.REMOVE_LAST, 0);
+        return value;
     }
 
     private T removeFirst() {
-        if (empty())
+        if (isEmpty())
             throw new NullPointerException();
 
+        invalidateWindowAggregates();
         T value = firstNode.value;
         if (singleElementList()) {
             firstNode = lastNode = middleNode = null;
+            middleStale = false;
             size--;
             return value;
         }
@@ -131,31 +241,37 @@ public class CustomDoublyLinkedList<T> {
         firstNode.previous = null;
         size--;
 
-        if ((size % 2) == 0)
+        if (!middleStale && (size % 2) == 0)
             middleNode = middleNode.next;
 
         return value;
     }
 
     private T removeLast() {
-        if (empty())
+        if (isEmpty())
             throw new NullPointerException();
 
+        for (int i = 0; i < windowAggregates.size(); i++) {
+            windowAggregates.get(i).removeOldest();
+        }
+
         T value = lastNode.value;
         if (singleElementList()) {
             firstNode = lastNode = middleNode = null;
+            middleStale = false;
             size--;
             return value;
         }
 
+        size--;
+        //Middle moves before unlinking, it may be the last node of a two element list.
+        if (!middleStale && (size % 2) != 0)
+            middleNode = middleNode.previous;
+
         Node<T> nLastNode = lastNode.previous;
         lastNode.previous = null;
         lastNode = nLastNode;
         lastNode.next = null;
-        size--;
-
-        if ((size % 2) != 0)
-            middleNode = middleNode.previous;
 
         return value;
     }
@@ -166,12 +282,33 @@ public class CustomDoublyLinkedList<T> {
      * @return value of middle node.
      */
     public T middle() {
+        expireStale();
+        int traversed = locateMiddle();
+        recordOperation(ListMetrics.Operation.GET, traversed);
         return middleNode.value;
     }
 
+    /**
+     * Walks to the middle node again after an unlink or move left the tracked middle node stale.
+     *
+     * @return Number of nodes walked.
+     */
+    private int locateMiddle() {
+        if (!middleStale)
+            return 0;
+
+        middleNode = firstNode;
+        for (int idx = size / 2; idx > 0; idx--) {
+            middleNode = middleNode.next;
+        }
+        middleStale = false;
+        return size / 2;
+    }
+
     /**
      * Inserts a new node to the middle of the list.
-     * O(1) operation.
+     * O(1) operation. While expiry is enabled the new node takes the timestamp of its newer neighbour,
+     * so timestamps stay ordered and the value expires together with that neighbour.
      *
      * @param value : Value of the node.
      */
@@ -179,7 +316,10 @@ public class CustomDoublyLinkedList<T> {
         if (value == null)
             throw new NullPointerException();
 
-        Node<T> node = new Node<>(value);
+        expireStale();
+        int traversed = locateMiddle();
+        invalidateWindowAggregates();
+        Node<T> node = newNode(value);
         if ((size % 2) == 0) {
             //New middle element becomes current middle - 1.
             node.previous = middleNode.previous;
@@ -194,8 +334,12 @@ public class CustomDoublyLinkedList<T> {
             middleNode.next = node;
         }
 
+        //A fresh timestamp in the middle would hold back expiry of every older value behind it.
+        if (expiryClock != null)
+            node.timestamp = node.previous.timestamp;
         middleNode = node;
         size++;
+        recordOperation(ListMetrics.Operation.INSERT_MIDDLE, traversed);
     }
 
     /**
@@ -205,9 +349,12 @@ public class CustomDoublyLinkedList<T> {
      * @return Value of the deleted middle node.
      */
     public T removeMiddle() {
-        if (empty())
+        expireStale();
+        if (isEmpty())
             return null;
 
+        int traversed = locateMiddle();
+        invalidateWindowAggregates();
         T value = middleNode.value;
         Node<T> nMiddle = middleNode.next;
         Node<T> nPrevious = middleNode.previous;
@@ -224,9 +371,136 @@ public class CustomDoublyLinkedList<T> {
             middleNode = nPrevious;
         }
 
+        recordOperation(ListMetrics.Operation.REMOVE_MIDDLE, traversed);
         return value;
     }
 
+    /**
+     * Maintains the provided aggregate over the values of a queue implementation of linked list.
+     * Values are aggregated in the order they were added with two-stack aggregation, so the aggregate
+     * is available in amortized O(1) after every add() and remove() without walking the nodes.
+     * Operations on the middle of the list force a single rebuild on the next query.
+     *
+     * @param aggregator : Associative aggregate to maintain.
+     * @return Handle to query the aggregate.
+     * @throws WrongMethodException : Custom exception implementation.
+     */
+    public <A> WindowAggregate<T, A> aggregate(Aggregator<? super T, A> aggregator) throws WrongMethodException {
+        if (aggregator == null)
+            throw new IllegalArgumentException();
+
+        if (isStack)
+            throw new WrongMethodException("Linked list is defined as a stack, " +
+                    "window aggregates require a queue.");
+
+        WindowAggregate<T, A> windowAggregate = new WindowAggregate<>(this, aggregator);
+        windowAggregates.add(windowAggregate);
+        return windowAggregate;
+    }
+
+    /**
+     * Stops maintaining the provided aggregate.
+     *
+     * @param windowAggregate : Handle returned by aggregate().
+     */
+    public void removeAggregate(WindowAggregate<T, ?> windowAggregate) {
+        windowAggregates.remove(windowAggregate);
+    }
+
+    private void invalidateWindowAggregates() {
+        for (int i = 0; i < windowAggregates.size(); i++) {
+            windowAggregates.get(i).invalidate();
+        }
+    }
+
+    /**
+     * Stamps every value added to a queue implementation of linked list with the system nano time and
+     * drops values older than the provided time to live.
+     *
+     * @param timeToLive : Time after which a value expires.
+     * @param unit       : Unit of the time to live.
+     * @throws WrongMethodException : Custom exception implementation.
+     */
+    public void expireAfter(long timeToLive, TimeUnit unit) throws WrongMethodException {
+        expireAfter(timeToLive, unit, System::nanoTime);
+    }
+
+    /**
+     * Stamps every value added to a queue implementation of linked list with the provided clock and
+     * drops values older than the provided time to live. Expired values are removed lazily from the
+     * end of the queue whenever it is accessed, which is amortized O(1) since every value expires once.
+     * Values already in the list are stamped when expiry is enabled.
+     *
+     * @param timeToLive : Time after which a value expires.
+     * @param unit       : Unit of the time to live.
+     * @param nanoClock  : Clock returning the current time in nanoseconds.
+     * @throws WrongMethodException : Custom exception implementation.
+     */
+    public void expireAfter(long timeToLive, TimeUnit unit, LongSupplier nanoClock) throws WrongMethodException {
+        if (timeToLive <= 0 || unit == null || nanoClock == null)
+            throw new IllegalArgumentException();
+
+        if (isStack)
+            throw new WrongMethodException("Linked list is defined as a stack, " +
+                    "expiry requires a queue.");
+
+        long now = nanoClock.getAsLong();
+        for (Node<T> currentNode = firstNode; currentNode != null; currentNode = currentNode.next) {
+            currentNode.timestamp = now;
+        }
+
+        expiryClock = nanoClock;
+        timeToLiveNanos = unit.toNanos(timeToLive);
+    }
+
+    /**
+     * Stops expiring values.
+     */
+    public void disableExpiry() {
+        expiryClock = null;
+    }
+
+    /**
+     * Removes all expired values from the end of the queue. Expiry already happens on every access,
+     * this allows a scheduled task to release expired values of an idle queue.
+     *
+     * @return Number of values removed.
+     */
+    public int evictExpired() {
+        long expiredBefore = expiredCount;
+        expireStale();
+        return (int) (expiredCount - expiredBefore);
+    }
+
+    /**
+     * Returns the number of values dropped because they expired.
+     */
+    public long expiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * Returns the number of values taken from the queue through remove().
+     */
+    public long consumedCount() {
+        return consumedCount;
+    }
+
+    private void expireStale() {
+        if (expiryClock == null)
+            return;
+
+        long now = expiryClock.getAsLong();
+        while (lastNode != null && now - lastNode.timestamp >= timeToLiveNanos) {
+            removeLast();
+            expiredCount++;
+        }
+    }
+
+    private boolean isEmpty() {
+        return firstNode == null;
+    }
+
     /**
      * Returns true if the list is a single element.
      */
@@ -238,13 +512,54 @@ public class CustomDoublyLinkedList<T> {
      * This returns the corresponding boolean on whether list is null.
      */
     public boolean empty() {
-        return firstNode == null;
+        expireStale();
+        return isEmpty();
+    }
+
+    /**
+     * Starts recording operation metrics for this list. While metrics are disabled every operation
+     * only pays for a null check.
+     *
+     * @return The metrics of this list.
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null)
+            metrics = new ListMetrics();
+
+        return metrics;
+    }
+
+    /**
+     * Stops recording operation metrics for this list.
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Returns the metrics of this list, null if metrics are disabled.
+     */
+    public ListMetrics metrics() {
+        return metrics;
+    }
+
+    private void recordOperation(ListMetrics.Operation operation, int nodesTraversed) {
+        if (metrics != null)
+            metrics.record(operation, nodesTraversed, size);
+    }
+
+    private Node<T> newNode(T value) {
+        if (metrics != null)
+            metrics.recordAllocation();
+
+        return new Node<>(value);
     }
 
     /**
      * Returns the size of the linked list.
      */
     public int size() {
+        expireStale();
         return this.size;
     }
 
@@ -252,27 +567,258 @@ public class CustomDoublyLinkedList<T> {
      * Prints the structure in a graphical representation on the console.
      */
     public void print() {
+        expireStale();
         if (firstNode == null)
             return;
 
-        Node<T> currentNode = firstNode;
-        while (currentNode != null) {
-            if (currentNode.next != null)
-                System.out.print(currentNode.value.toString().concat(" -> "));
-            else
-                System.out.println(currentNode.value);
-            currentNode = currentNode.next;
+        try {
+            writeTo(System.out);
+            System.out.println();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Writes the structure in a graphical representation to the provided Appendable, such as a Writer,
+     * through a reusable buffer.
+     *
+     * @param out : Destination of the values.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, " -> ", Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Writes the values of the structure to the provided Appendable through a reusable buffer. Lists longer
+     * than first + last values are truncated to their first and last values and the number of elided values.
+     *
+     * @param out       : Destination of the values.
+     * @param separator : Text written between two values.
+     * @param first     : Number of values written from the start of the list.
+     * @param last      : Number of values written from the end of the list.
+     */
+    public void writeTo(Appendable out, String separator, int first, int last) throws IOException {
+        expireStale();
+        ListWriter.write(this::valueIterator, size, out, separator, first, last);
+    }
+
+    /**
+     * Writes the values of the structure to the provided channel as UTF-8 through a reusable buffer. Lists
+     * longer than first + last values are truncated to their first and last values and the number of elided values.
+     *
+     * @param channel   : Destination of the values.
+     * @param separator : Text written between two values.
+     * @param first     : Number of values written from the start of the list.
+     * @param last      : Number of values written from the end of the list.
+     */
+    public void writeTo(WritableByteChannel channel, String separator, int first, int last) throws IOException {
+        expireStale();
+        ListWriter.write(this::valueIterator, size, channel, separator, first, last);
+    }
+
+    /**
+     * Returns an iterator over the values starting at the provided index. Indices in the second half
+     * are reached by walking back from the last node.
+     *
+     * @param fromIdx : Index of the first value.
+     */
+    private Iterator<T> valueIterator(int fromIdx) {
+        Node<T> fromNode;
+        if (fromIdx > size / 2) {
+            fromNode = lastNode;
+            for (int idx = size - 1; idx > fromIdx && fromNode != null; idx--) {
+                fromNode = fromNode.previous;
+            }
+        } else {
+            fromNode = firstNode;
+            for (int idx = 0; idx < fromIdx && fromNode != null; idx++) {
+                fromNode = fromNode.next;
+            }
+        }
+
+        Node<T> startNode = fromIdx < size ? fromNode : null;
+        return new Iterator<T>() {
+            private Node<T> currentNode = startNode;
+
+            @Override
+            public boolean hasNext() {
+                return currentNode != null;
+            }
+
+            @Override
+            public T next() {
+                if (currentNode == null)
+                    throw new NoSuchElementException();
+
+                T value = currentNode.value;
+                currentNode = currentNode.next;
+                return value;
+            }
+        };
+    }
+
     static class Node<T> {
         private final T value;
         private Node<T> next;
         private Node<T> previous;
+        private long timestamp;
 
         public Node(T value) {
             this.value = value;
         }
+
+        T value() {
+            return value;
+        }
+    }
+
+    /**
+     * Associative aggregate over values, combine must satisfy combine(a, combine(b, c)) == combine(combine(a, b), c)
+     * and identity must be neutral for combine.
+     */
+    public interface Aggregator<T, A> {
+
+        /**
+         * Returns the aggregate of an empty queue.
+         */
+        A identity();
+
+        /**
+         * Returns the aggregate of a single value.
+         */
+        A lift(T value);
+
+        /**
+         * Combines the aggregate of older values with the aggregate of newer values.
+         */
+        A combine(A older, A newer);
+
+        /**
+         * Creates an aggregator from its identity, lift and combine functions.
+         */
+        static <T, A> Aggregator<T, A> of(A identity, Function<? super T, ? extends A> lift, BinaryOperator<A> combine) {
+            return new Aggregator<T, A>() {
+                @Override
+                public A identity() {
+                    return identity;
+                }
+
+                @Override
+                public A lift(T value) {
+                    return lift.apply(value);
+                }
+
+                @Override
+                public A combine(A older, A newer) {
+                    return combine.apply(older, newer);
+                }
+            };
+        }
+
+        /**
+         * Minimum value, null for an empty queue.
+         */
+        static <T> Aggregator<T, T> min(Comparator<? super T> comparator) {
+            return of(null, value -> value, (older, newer) -> older == null ? newer : newer == null ? older :
+                    comparator.compare(newer, older) < 0 ? newer : older);
+        }
+
+        /**
+         * Maximum value, null for an empty queue.
+         */
+        static <T> Aggregator<T, T> max(Comparator<? super T> comparator) {
+            return min(comparator.reversed());
+        }
+
+        /**
+         * Sum of the provided long function over all values.
+         */
+        static <T> Aggregator<T, Long> sum(ToLongFunction<? super T> valueFunction) {
+            return of(0L, valueFunction::applyAsLong, Long::sum);
+        }
+
+        /**
+         * Number of values.
+         */
+        static <T> Aggregator<T, Long> count() {
+            return of(0L, value -> 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Aggregate of all values in a queue, maintained with two stacks. The back stack only keeps the
+     * aggregate of the newest values, the front stack keeps suffix aggregates of the oldest values
+     * so removing the oldest value pops a single entry. The front stack is refilled from the list
+     * once it runs empty.
+     */
+    public static final class WindowAggregate<T, A> {
+        private final CustomDoublyLinkedList<T> list;
+        private final Aggregator<? super T, A> aggregator;
+        private Object[] frontAggregates = new Object[16];
+        private int frontSize;
+        private A backAggregate;
+        private boolean stale = true;
+
+        private WindowAggregate(CustomDoublyLinkedList<T> list, Aggregator<? super T, A> aggregator) {
+            this.list = list;
+            this.aggregator = aggregator;
+        }
+
+        /**
+         * Returns the aggregate of all values currently in the queue.
+         * O(1) amortized operation.
+         */
+        @SuppressWarnings("unchecked")
+        public A get() {
+            list.expireStale();
+            if (stale)
+                refill();
+
+            if (frontSize == 0)
+                return backAggregate;
+
+            return aggregator.combine((A) frontAggregates[frontSize - 1], backAggregate);
+        }
+
+        private void addNewest(T value) {
+            if (!stale)
+                backAggregate = aggregator.combine(backAggregate, aggregator.lift(value));
+        }
+
+        private void removeOldest() {
+            if (stale || frontSize == 0)
+                refill();
+
+            frontAggregates[--frontSize] = null;
+        }
+
+        private void invalidate() {
+            Arrays.fill(frontAggregates, 0, frontSize, null);
+            frontSize = 0;
+            stale = true;
+        }
+
+        /**
+         * Moves every value of the list to the front stack, walking from the newest to the oldest value
+         * so the oldest value ends on top.
+         */
+        private void refill() {
+            if (frontAggregates.length < list.size)
+                frontAggregates = new Object[Math.max(list.size, frontAggregates.length * 2)];
+            else
+                Arrays.fill(frontAggregates, 0, frontSize, null);
+
+            A aggregate = aggregator.identity();
+            frontSize = 0;
+            for (Node<T> currentNode = list.firstNode; currentNode != null; currentNode = currentNode.next) {
+                aggregate = aggregator.combine(aggregator.lift(currentNode.value), aggregate);
+                frontAggregates[frontSize++] = aggregate;
+            }
+
+            backAggregate = aggregator.identity();
+            stale = false;
+        }
     }
 
     static class WrongMethodException extends Exception {
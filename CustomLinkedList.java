@@ -1,11 +1,44 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 public class CustomLinkedList<T> {
 
+    private static final int DEFAULT_PARALLELISM_THRESHOLD = 1 << 16;
+    private static final int SEGMENTS_PER_WORKER = 4;
+
     private Node<T> firstNode;
     private Node<T> lastNode;
     private int sizeOfLinkedList = 0;
     private Node<T> newFirstNodeRecursion;
+    private int parallelismThreshold = DEFAULT_PARALLELISM_THRESHOLD;
+    private Node<T>[] checkpoints;
+    private int checkpointCount;
+    private int checkpointSpacing;
+    private int firstSegmentLength;
+    private SearchPolicy searchPolicy = SearchPolicy.STATIC;
+    private ListMetrics metrics;
+    private CountingBloomFilter membershipFilter;
+
+    /**
+     * Policies applied by contains to the node holding a found value.
+     * STATIC : the list is left untouched.
+     * MOVE_TO_FRONT : the node is moved to the start of the list.
+     * TRANSPOSE : the node is swapped with its predecessor.
+     * COUNT : the node's hit count is incremented and the node is moved ahead of all nodes with fewer hits.
+     */
+    public enum SearchPolicy {
+        STATIC, MOVE_TO_FRONT, TRANSPOSE, COUNT
+    }
 
     /**
      * Creates a new node with the provided value and adds it to the end of the linked list structure.
@@ -16,20 +49,27 @@ public class CustomLinkedList<T> {
         if (value == null)
             throw new IllegalArgumentException();
 
-        Node<T> node = new Node<>(value);
+        Node<T> node = newNode(value);
+        filterAdd(value);
         if (isEmpty()) {
             firstNode = lastNode = node;
             sizeOfLinkedList++;
+            checkpointAppended(node);
+            recordOperation(ListMetrics.Operation.ADD, 0);
             return true;
         }
 
+        int traversed = 0;
         Node<T> currentNode = firstNode;
         while (currentNode.next != null) {
             currentNode = currentNode.next;
+            traversed++;
         }
 
         currentNode.next = lastNode = node;
         sizeOfLinkedList++;
+        checkpointAppended(node);
+        recordOperation(ListMetrics.Operation.ADD, traversed);
         return true;
     }
 
@@ -43,22 +83,18 @@ public class CustomLinkedList<T> {
         if (value == null)
             throw new IllegalArgumentException();
 
-        int ctr = 0;
-        Node<T> node = new Node<>(value);
-        if (isEmpty()) {
-            if (idx > 0)
-                throw new IllegalArgumentException();
+        if (isEmpty() && idx > 0)
+            throw new IllegalArgumentException();
 
-            firstNode = lastNode = node;
-            sizeOfLinkedList++;
+        if (isEmpty() || idx == 0) {
+            linkFirst(value);
+            recordOperation(ListMetrics.Operation.ADD_AT_INDEX, 0);
             return true;
         }
 
-        if (idx == 0)
-            addFirst(value);
-        else if (idx == sizeOfLinkedList + 1)
-            add(value);
-
+        //Indices past the end, including size + 1, append after the last node.
+        int ctr = 0;
+        Node<T> node = newNode(value);
         Node<T> currentNode = firstNode;
         while (currentNode.next != null && ++ctr != idx) {
             currentNode = currentNode.next;
@@ -66,7 +102,12 @@ public class CustomLinkedList<T> {
 
         node.next = currentNode.next;
         currentNode.next = node;
+        if (node.next == null)
+            lastNode = node;
+        filterAdd(value);
         sizeOfLinkedList++;
+        invalidateCheckpoints();
+        recordOperation(ListMetrics.Operation.ADD_AT_INDEX, ctr);
         return true;
     }
 
@@ -79,17 +120,28 @@ public class CustomLinkedList<T> {
         if (value == null)
             throw new IllegalArgumentException();
 
-        Node<T> node = new Node<>(value);
+        linkFirst(value);
+        recordOperation(ListMetrics.Operation.ADD_FIRST, 0);
+    }
+
+    /**
+     * Links a new node with the provided value before the first node without recording metrics,
+     * callers record the operation they were called for.
+     *
+     * @param value : value of the new node.
+     */
+    private void linkFirst(T value) {
+        Node<T> node = newNode(value);
+        filterAdd(value);
         if (isEmpty()) {
             firstNode = lastNode = node;
-            sizeOfLinkedList++;
-            return;
+        } else {
+            node.next = firstNode;
+            firstNode = node;
         }
 
-        Node<T> nextNode = firstNode;
-        firstNode = node;
-        firstNode.next = nextNode;
         sizeOfLinkedList++;
+        invalidateCheckpoints();
     }
 
     /**
@@ -118,16 +170,88 @@ public class CustomLinkedList<T> {
      * @param value : value of the node to search.
      */
     public boolean contains(T value) {
+        if (definitelyAbsent(value)) {
+            recordOperation(ListMetrics.Operation.CONTAINS, 0);
+            return false;
+        }
+
+        int traversed = 0;
+        Node<T> beforePreviousNode = null;
+        Node<T> previousNode = null;
         Node<T> currentNode = firstNode;
         while (currentNode != null) {
-            if (currentNode.value.equals(value))
+            if (currentNode.value.equals(value)) {
+                recordOperation(ListMetrics.Operation.CONTAINS, traversed);
+                if (searchPolicy != SearchPolicy.STATIC)
+                    reorganize(currentNode, previousNode, beforePreviousNode);
                 return true;
+            }
+            beforePreviousNode = previousNode;
+            previousNode = currentNode;
             currentNode = currentNode.next;
+            traversed++;
         }
 
+        recordOperation(ListMetrics.Operation.CONTAINS, traversed);
         return false;
     }
 
+    /**
+     * Sets the self-organizing policy applied by contains and parallelContains, so frequently searched
+     * values drift towards the start of the list and later searches for them walk fewer nodes.
+     *
+     * @param policy : policy applied to found nodes.
+     */
+    public void setSearchPolicy(SearchPolicy policy) {
+        if (policy == null)
+            throw new IllegalArgumentException();
+
+        this.searchPolicy = policy;
+    }
+
+    /**
+     * Moves a node found by contains towards the start of the list according to the search policy.
+     *
+     * @param node               : node holding the found value.
+     * @param previousNode       : predecessor of the node, null for the first node.
+     * @param beforePreviousNode : predecessor of the previous node, null if there is none.
+     */
+    private void reorganize(Node<T> node, Node<T> previousNode, Node<T> beforePreviousNode) {
+        if (searchPolicy == SearchPolicy.COUNT && node.hits < Integer.MAX_VALUE)
+            node.hits++;
+
+        if (previousNode == null)
+            return;
+
+        Node<T> beforeTarget = beforePreviousNode;
+        Node<T> target = previousNode;
+        if (searchPolicy == SearchPolicy.MOVE_TO_FRONT) {
+            beforeTarget = null;
+            target = firstNode;
+        } else if (searchPolicy == SearchPolicy.COUNT) {
+            beforeTarget = null;
+            target = firstNode;
+            while (target != node && target.hits >= node.hits) {
+                beforeTarget = target;
+                target = target.next;
+            }
+
+            if (target == node)
+                return;
+        }
+
+        previousNode.next = node.next;
+        if (node == lastNode)
+            lastNode = previousNode;
+
+        node.next = target;
+        if (beforeTarget == null)
+            firstNode = node;
+        else
+            beforeTarget.next = node;
+        invalidateCheckpoints();
+    }
+
     /**
      * Removes and returns the top node from the structure and updates the top node.
      *
@@ -137,17 +261,29 @@ public class CustomLinkedList<T> {
         if (isEmpty())
             throw new IllegalStateException();
 
+        T value = unlinkFirst();
+        recordOperation(ListMetrics.Operation.REMOVE_FIRST, 0);
+        return value;
+    }
+
+    /**
+     * Unlinks the first node without recording metrics, callers record the operation they were called for.
+     *
+     * @return returns the removed value.
+     */
+    private T unlinkFirst() {
         T value = firstNode.value;
+        filterRemove(value);
         if (isSingleElement()) {
             firstNode = lastNode = null;
-            sizeOfLinkedList--;
-            return value;
+        } else {
+            Node<T> newFirstNode = firstNode.next;
+            firstNode.next = null;
+            firstNode = newFirstNode;
         }
 
-        Node<T> newFirstNode = firstNode.next;
-        firstNode.next = null;
-        firstNode = newFirstNode;
         sizeOfLinkedList--;
+        invalidateCheckpoints();
         return value;
     }
 
@@ -161,20 +297,27 @@ public class CustomLinkedList<T> {
             throw new IllegalStateException();
 
         T value = lastNode.value;
+        filterRemove(value);
         if (isSingleElement()) {
             firstNode = lastNode = null;
             sizeOfLinkedList--;
+            invalidateCheckpoints();
+            recordOperation(ListMetrics.Operation.REMOVE_LAST, 0);
             return value;
         }
 
+        int traversed = 0;
         Node<T> currentNode = firstNode;
         while (currentNode.next.next != null) {
             currentNode = currentNode.next;
+            traversed++;
         }
 
         currentNode.next = null;
         lastNode = currentNode;
         sizeOfLinkedList--;
+        invalidateCheckpoints();
+        recordOperation(ListMetrics.Operation.REMOVE_LAST, traversed);
         return value;
     }
 
@@ -187,32 +330,37 @@ public class CustomLinkedList<T> {
         if (isEmpty())
             throw new IllegalStateException();
 
-        if (isSingleElement()) {
-            if (firstNode.value.equals(value)) {
-                removeFirst();
-                return;
-            }
+        if (isSingleElement() || definitelyAbsent(value) || firstNode.value.equals(value)) {
+            boolean found = firstNode.value.equals(value);
+            if (found)
+                unlinkFirst();
 
-            throw new NoSuchElementException();
-        }
-
-        if (firstNode.value.equals(value)) {
-            removeFirst();
+            recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, 0);
+            if (!found)
+                throw new NoSuchElementException();
             return;
         }
 
+        int traversed = 0;
         Node<T> currentNode = firstNode;
         while (currentNode.next != null) {
             if (currentNode.next.value.equals(value)) {
                 Node<T> tempNode = currentNode.next.next;
                 currentNode.next.next = null;
                 currentNode.next = tempNode;
+                if (tempNode == null)
+                    lastNode = currentNode;
+                filterRemove(value);
                 sizeOfLinkedList--;
+                invalidateCheckpoints();
+                recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, traversed);
                 return;
             }
             currentNode = currentNode.next;
+            traversed++;
         }
 
+        recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, traversed);
         throw new NoSuchElementException();
     }
 
@@ -226,11 +374,18 @@ public class CustomLinkedList<T> {
             throw new IllegalStateException();
 
         if (isSingleElement()) {
-            if (lastNode.value.equals(value)) {
-                removeLast();
-                return;
-            }
+            boolean found = firstNode.value.equals(value);
+            if (found)
+                unlinkFirst();
 
+            recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, 0);
+            if (!found)
+                throw new NoSuchElementException();
+            return;
+        }
+
+        if (definitelyAbsent(value)) {
+            recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, 0);
             throw new NoSuchElementException();
         }
 
@@ -251,14 +406,22 @@ public class CustomLinkedList<T> {
             throw new IllegalArgumentException();
 
         if (isSingleElement()) {
-            if (ocr == 1 && firstNode.value.equals(value)) {
-                removeFirst();
-                return;
-            } else if (ocr > 1) {
+            boolean found = ocr == 1 && firstNode.value.equals(value);
+            if (found)
+                unlinkFirst();
+
+            recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, 0);
+            if (ocr > 1)
                 throw new IllegalArgumentException();
-            }
+            else if (!found)
+                throw new NoSuchElementException();
+            return;
+        }
 
-            throw new NoSuchElementException();
+        //A value without occurrences fails the same way as a value with fewer than K occurrences.
+        if (definitelyAbsent(value)) {
+            recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, 0);
+            throw new IllegalArgumentException();
         }
 
         unlinkNode(true, ocr, value);
@@ -271,6 +434,7 @@ public class CustomLinkedList<T> {
             nodeBeforeOccurrence = firstNode;
             ocr--;
         }
+        int traversed = 0;
         Node<T> currentNode = firstNode;
         while (currentNode.next != null) {
             if (ocr == 0)
@@ -282,14 +446,16 @@ public class CustomLinkedList<T> {
             }
 
             currentNode = currentNode.next;
+            traversed++;
         }
+        recordOperation(ListMetrics.Operation.REMOVE_OCCURRENCE, traversed);
 
         if (kthRemoval && ocr > 0)
             throw new IllegalArgumentException();
 
         if (nodeBeforeOccurrence == firstNode &&
                 nodeBeforeOccurrence.value.equals(value)) {
-            removeFirst();
+            unlinkFirst();
             return;
         }
 
@@ -298,7 +464,11 @@ public class CustomLinkedList<T> {
             Node<T> tempNode = nodeBeforeOccurrence.next.next;
             nodeBeforeOccurrence.next.next = null;
             nodeBeforeOccurrence.next = tempNode;
+            if (tempNode == null)
+                lastNode = nodeBeforeOccurrence;
+            filterRemove(value);
             sizeOfLinkedList--;
+            invalidateCheckpoints();
             return;
         }
 
@@ -335,6 +505,7 @@ public class CustomLinkedList<T> {
             }
         }
 
+        recordOperation(ListMetrics.Operation.GET, boundary);
         return kthNode != null ? kthNode.value : null;
     }
 
@@ -345,6 +516,7 @@ public class CustomLinkedList<T> {
         if (isEmpty())
             throw new IllegalStateException();
 
+        int traversed = sizeOfLinkedList;
         List<T> tList = new ArrayList<>();
         Node<T> currentNode = firstNode.next;
         Node<T> previousNode = firstNode;
@@ -356,15 +528,21 @@ public class CustomLinkedList<T> {
                 Node<T> temp = currentNode.next;
                 currentNode.next = null;
                 previousNode.next = temp;
+                if (temp == null)
+                    lastNode = previousNode;
+                filterRemove(currentNode.value);
 
                 currentNode = temp;
                 sizeOfLinkedList--;
+                invalidateCheckpoints();
                 continue;
             }
 
             previousNode = previousNode.next;
             currentNode = currentNode.next;
         }
+
+        recordOperation(ListMetrics.Operation.DEDUPLICATE, traversed);
     }
 
     /**
@@ -377,6 +555,7 @@ public class CustomLinkedList<T> {
         if (N < 0)
             throw new IllegalArgumentException();
 
+        int traversed = sizeOfLinkedList;
         Map<T, Integer> duplicateCounterMap = new HashMap<>();
         Node<T> currentNode = firstNode.next;
         Node<T> previousNode = firstNode;
@@ -392,15 +571,21 @@ public class CustomLinkedList<T> {
                 Node<T> temp = currentNode.next;
                 currentNode.next = null;
                 previousNode.next = temp;
+                if (temp == null)
+                    lastNode = previousNode;
+                filterRemove(currentNode.value);
 
                 currentNode = temp;
                 sizeOfLinkedList--;
+                invalidateCheckpoints();
                 continue;
             }
 
             previousNode = previousNode.next;
             currentNode = currentNode.next;
         }
+
+        recordOperation(ListMetrics.Operation.DEDUPLICATE, traversed);
     }
 
     /**
@@ -440,30 +625,80 @@ public class CustomLinkedList<T> {
         if (isEmpty())
             throw new IllegalStateException();
 
-        if (isSingleElement())
+        if (!isSingleElement()) {
+            lastNode = firstNode;
+            firstNode = reverseSegment(firstNode, sizeOfLinkedList);
+            invalidateCheckpoints();
+        }
+
+        recordOperation(ListMetrics.Operation.REVERSE, sizeOfLinkedList);
+    }
+
+    /**
+     * Reverses the linked list structure by reversing fixed size segments concurrently on the common
+     * fork-join pool and stitching them back together. Lists smaller than the parallelism threshold
+     * are reversed serially.
+     */
+    public void parallelReverse() {
+        if (sizeOfLinkedList < parallelismThreshold) {
+            reverse();
             return;
+        }
 
-        Node<T> newFirstNode = new Node<>(firstNode.value);
-        Node<T> previousNode;
+        Node<T>[] segmentHeads = checkpoints();
+        int segments = checkpointCount;
+        Node<T>[] segmentTails = newNodeArray(segments);
+        invokeOnSegments(segment ->
+                segmentTails[segment] = reverseSegment(segmentHeads[segment], segmentLength(segment)));
 
-        Node<T> currentNode = firstNode;
-        while (currentNode.next != null) {
-            previousNode = newFirstNode;
-            currentNode = currentNode.next;
-            newFirstNode = new Node<>(currentNode.value);
-            newFirstNode.next = previousNode;
+        //Each segment's old head is now its tail and must point at the reversed segment before it.
+        for (int segment = 1; segment < segments; segment++) {
+            segmentHeads[segment].next = segmentTails[segment - 1];
         }
 
         lastNode = firstNode;
-        firstNode = newFirstNode;
+        firstNode = segmentTails[segments - 1];
+
+        //The reversed segments in reverse order are the segments of the reversed list.
+        int newFirstSegmentLength = segmentLength(segments - 1);
+        for (int segment = 0; segment < segments; segment++) {
+            segmentHeads[segment] = segmentTails[segments - 1 - segment];
+        }
+        firstSegmentLength = newFirstSegmentLength;
+        recordOperation(ListMetrics.Operation.REVERSE, sizeOfLinkedList);
+    }
+
+    /**
+     * Reverses the next pointers of the provided number of nodes starting at the provided node.
+     * The head of the segment is left pointing at null.
+     *
+     * @param headNode : first node of the segment.
+     * @param length   : number of nodes in the segment.
+     * @return returns the new head of the segment.
+     */
+    private Node<T> reverseSegment(Node<T> headNode, int length) {
+        Node<T> previousNode = null;
+        Node<T> currentNode = headNode;
+        for (int i = 0; i < length; i++) {
+            Node<T> nextNode = currentNode.next;
+            currentNode.next = previousNode;
+            previousNode = currentNode;
+            currentNode = nextNode;
+        }
+
+        return previousNode;
     }
 
     /**
      * Public method to invoke reverse through recursion method.
      */
     public void reverseThroughRecursion() {
+        Node<T> oldFirstNode = firstNode;
         reverse(firstNode);
         firstNode = newFirstNodeRecursion;
+        lastNode = oldFirstNode;
+        invalidateCheckpoints();
+        recordOperation(ListMetrics.Operation.REVERSE, sizeOfLinkedList);
     }
 
     /**
@@ -498,8 +733,10 @@ public class CustomLinkedList<T> {
         if (isEmpty())
             throw new IllegalStateException();
 
-        if (isSingleElement())
+        if (isSingleElement()) {
+            recordOperation(ListMetrics.Operation.REVERSE, 0);
             return;
+        }
 
         int idx = 0;
         Node<T> currentNode = firstNode;
@@ -512,12 +749,12 @@ public class CustomLinkedList<T> {
 
         Node<T> pNode;
         Node<T> cNode = currentNode;
-        Node<T> newFirstNode = new Node<>(cNode.value);
+        Node<T> newFirstNode = newNode(cNode.value);
         idx--;
         while (cNode.next != null && idx++ != end - 1) {
             pNode = newFirstNode;
             cNode = cNode.next;
-            newFirstNode = new Node<>(cNode.value);
+            newFirstNode = newNode(cNode.value);
             newFirstNode.next = pNode;
         }
         nextNode = cNode.next;
@@ -532,8 +769,481 @@ public class CustomLinkedList<T> {
             iNode = iNode.next;
         }
 
-        if (iNode != lastNode)
-            iNode.next = nextNode;
+        iNode.next = nextNode;
+        if (nextNode == null)
+            lastNode = iNode;
+        invalidateCheckpoints();
+        recordOperation(ListMetrics.Operation.REVERSE, idx);
+    }
+
+    /**
+     * Sorts the linked list structure in place with a bottom-up natural merge sort. Each pass merges
+     * adjacent ascending runs by relinking nodes, so no nodes or buffers are allocated. The sort is stable.
+     * Nodes are moved one at a time, so a comparator that throws leaves all values in the list.
+     *
+     * @param comparator : comparator defining the order of the values.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new IllegalArgumentException();
+
+        if (isEmpty() || isSingleElement()) {
+            recordOperation(ListMetrics.Operation.SORT, 0);
+            return;
+        }
+
+        invalidateCheckpoints();
+        int passes = 0;
+        boolean merged;
+        do {
+            passes++;
+            merged = false;
+            Node<T> beforeRun = null;
+            Node<T> leftRun = firstNode;
+            while (leftRun != null) {
+                Node<T> leftEnd = endOfRun(leftRun, comparator);
+                if (leftEnd.next == null)
+                    break;
+
+                Node<T> rightEnd = endOfRun(leftEnd.next, comparator);
+                beforeRun = mergeRuns(beforeRun, leftRun, leftEnd, rightEnd, comparator);
+                leftRun = beforeRun.next;
+                merged = true;
+            }
+        } while (merged);
+
+        recordOperation(ListMetrics.Operation.SORT, (long) passes * sizeOfLinkedList);
+    }
+
+    /**
+     * Returns the last node of the ascending run starting at the provided node.
+     *
+     * @param runNode : first node of the run.
+     */
+    private Node<T> endOfRun(Node<T> runNode, Comparator<? super T> comparator) {
+        while (runNode.next != null && comparator.compare(runNode.value, runNode.next.value) <= 0) {
+            runNode = runNode.next;
+        }
+
+        return runNode;
+    }
+
+    /**
+     * Merges the run ending at leftEnd with the run directly after it by moving each node of the right
+     * run in front of the first left node greater than it.
+     *
+     * @param beforeRun : node before the left run, null if the left run starts the list.
+     * @param leftNode  : first node of the left run.
+     * @param leftEnd   : last node of the left run.
+     * @param rightEnd  : last node of the right run.
+     * @return returns the last node of the merged run.
+     */
+    private Node<T> mergeRuns(Node<T> beforeRun, Node<T> leftNode, Node<T> leftEnd, Node<T> rightEnd,
+                              Comparator<? super T> comparator) {
+        Node<T> previousNode = beforeRun;
+        while (true) {
+            Node<T> rightNode = leftEnd.next;
+            if (comparator.compare(rightNode.value, leftNode.value) < 0) {
+                moveBefore(rightNode, leftEnd, leftNode, previousNode);
+                previousNode = rightNode;
+                if (rightNode == rightEnd)
+                    return leftEnd;
+            } else {
+                if (leftNode == leftEnd)
+                    return rightEnd;
+
+                previousNode = leftNode;
+                leftNode = leftNode.next;
+            }
+        }
+    }
+
+    /**
+     * Sorts the linked list structure in place by a primitive long key. Runs are merged the same way
+     * as in sort, but every key is extracted once per node visit and compared as a primitive, so no
+     * boxed keys are created and the extractor is called about half as often as through a comparator.
+     *
+     * @param keyExtractor : function returning the sort key of a value.
+     */
+    public void sortByLongKey(ToLongFunction<? super T> keyExtractor) {
+        if (keyExtractor == null)
+            throw new IllegalArgumentException();
+
+        if (isEmpty() || isSingleElement()) {
+            recordOperation(ListMetrics.Operation.SORT, 0);
+            return;
+        }
+
+        invalidateCheckpoints();
+        int passes = 0;
+        boolean merged;
+        do {
+            passes++;
+            merged = false;
+            Node<T> beforeRun = null;
+            Node<T> leftRun = firstNode;
+            while (leftRun != null) {
+                Node<T> leftEnd = endOfRun(leftRun, keyExtractor);
+                if (leftEnd.next == null)
+                    break;
+
+                Node<T> rightEnd = endOfRun(leftEnd.next, keyExtractor);
+                beforeRun = mergeRuns(beforeRun, leftRun, leftEnd, rightEnd, keyExtractor);
+                leftRun = beforeRun.next;
+                merged = true;
+            }
+        } while (merged);
+
+        recordOperation(ListMetrics.Operation.SORT, (long) passes * sizeOfLinkedList);
+    }
+
+    private Node<T> endOfRun(Node<T> runNode, ToLongFunction<? super T> keyExtractor) {
+        long key = keyExtractor.applyAsLong(runNode.value);
+        while (runNode.next != null) {
+            long nextKey = keyExtractor.applyAsLong(runNode.next.value);
+            if (key > nextKey)
+                break;
+
+            runNode = runNode.next;
+            key = nextKey;
+        }
+
+        return runNode;
+    }
+
+    private Node<T> mergeRuns(Node<T> beforeRun, Node<T> leftNode, Node<T> leftEnd, Node<T> rightEnd,
+                              ToLongFunction<? super T> keyExtractor) {
+        Node<T> previousNode = beforeRun;
+        long leftKey = keyExtractor.applyAsLong(leftNode.value);
+        long rightKey = keyExtractor.applyAsLong(leftEnd.next.value);
+        while (true) {
+            Node<T> rightNode = leftEnd.next;
+            if (rightKey < leftKey) {
+                moveBefore(rightNode, leftEnd, leftNode, previousNode);
+                previousNode = rightNode;
+                if (rightNode == rightEnd)
+                    return leftEnd;
+
+                rightKey = keyExtractor.applyAsLong(leftEnd.next.value);
+            } else {
+                if (leftNode == leftEnd)
+                    return rightEnd;
+
+                previousNode = leftNode;
+                leftNode = leftNode.next;
+                leftKey = keyExtractor.applyAsLong(leftNode.value);
+            }
+        }
+    }
+
+    /**
+     * Moves the node following leftEnd in front of the provided left node, keeping the chain intact.
+     *
+     * @param rightNode    : node directly after leftEnd.
+     * @param leftEnd      : last node of the left run.
+     * @param leftNode     : node the right node is moved in front of.
+     * @param previousNode : node before the left node, null if the left node starts the list.
+     */
+    private void moveBefore(Node<T> rightNode, Node<T> leftEnd, Node<T> leftNode, Node<T> previousNode) {
+        leftEnd.next = rightNode.next;
+        rightNode.next = leftNode;
+        if (previousNode == null)
+            firstNode = rightNode;
+        else
+            previousNode.next = rightNode;
+
+        if (leftEnd.next == null)
+            lastNode = leftEnd;
+    }
+
+    /**
+     * Merges already sorted lists into a new sorted list with a k-way heap merge. Nodes are relinked
+     * as they leave the heap rather than copied, so only O(k) extra space is used and the provided
+     * lists are left empty. If the comparator throws, the nodes merged so far are put in front of the
+     * first non-empty list, so every provided list stays sorted and no value is lost.
+     *
+     * @param comparator : comparator the provided lists are sorted by.
+     * @param lists      : distinct sorted lists to merge.
+     * @return returns a list holding all nodes of the provided lists in sorted order.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> CustomLinkedList<T> mergeSorted(Comparator<? super T> comparator, CustomLinkedList<T>... lists) {
+        if (comparator == null || lists == null)
+            throw new IllegalArgumentException();
+
+        Set<CustomLinkedList<T>> distinctLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (CustomLinkedList<T> list : lists) {
+            if (list == null || !distinctLists.add(list))
+                throw new IllegalArgumentException();
+        }
+
+        //The heap holds list indices, remainingNodes[idx] is the first node of lists[idx] not merged yet.
+        Node<T>[] remainingNodes = newNodeArray(lists.length);
+        int[] mergedCounts = new int[lists.length];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, lists.length),
+                (left, right) -> comparator.compare(remainingNodes[left].value, remainingNodes[right].value));
+        CustomLinkedList<T> mergedList = new CustomLinkedList<>();
+        Node<T> mergedLast = null;
+        for (int idx = 0; idx < lists.length; idx++) {
+            remainingNodes[idx] = lists[idx].firstNode;
+        }
+
+        try {
+            for (int idx = 0; idx < lists.length; idx++) {
+                if (remainingNodes[idx] != null)
+                    heads.add(idx);
+            }
+
+            while (!heads.isEmpty()) {
+                int idx = heads.poll();
+                Node<T> node = remainingNodes[idx];
+                remainingNodes[idx] = node.next;
+                mergedCounts[idx]++;
+                if (mergedLast == null)
+                    mergedList.firstNode = node;
+                else
+                    mergedLast.next = node;
+                mergedLast = node;
+                mergedList.sizeOfLinkedList++;
+
+                if (remainingNodes[idx] != null)
+                    heads.add(idx);
+            }
+        } catch (RuntimeException | Error e) {
+            restoreLists(lists, remainingNodes, mergedCounts, mergedList.firstNode, mergedLast);
+            throw e;
+        }
+
+        for (CustomLinkedList<T> list : lists) {
+            list.clear();
+        }
+
+        mergedList.lastNode = mergedLast;
+        return mergedList;
+    }
+
+    /**
+     * Puts the nodes of an interrupted merge back into the provided lists. Every merged node is smaller
+     * than the remaining ones, so the merged nodes go in front of the first non-empty list.
+     *
+     * @param lists          : lists being merged.
+     * @param remainingNodes : first node of every list that was not merged yet.
+     * @param mergedCounts   : number of nodes merged from every list.
+     * @param mergedFirst    : first merged node, null if no node was merged.
+     * @param mergedLast     : last merged node, null if no node was merged.
+     */
+    private static <T> void restoreLists(CustomLinkedList<T>[] lists, Node<T>[] remainingNodes, int[] mergedCounts,
+                                         Node<T> mergedFirst, Node<T> mergedLast) {
+        CustomLinkedList<T> receivingList = null;
+        int mergedSize = 0;
+        for (int idx = 0; idx < lists.length; idx++) {
+            CustomLinkedList<T> list = lists[idx];
+            if (list.isEmpty())
+                continue;
+
+            if (receivingList == null)
+                receivingList = list;
+
+            list.firstNode = remainingNodes[idx];
+            if (list.firstNode == null)
+                list.lastNode = null;
+            list.sizeOfLinkedList -= mergedCounts[idx];
+            list.invalidateCheckpoints();
+            mergedSize += mergedCounts[idx];
+        }
+
+        if (mergedFirst == null)
+            return;
+
+        mergedLast.next = receivingList.firstNode;
+        if (receivingList.firstNode == null)
+            receivingList.lastNode = mergedLast;
+        receivingList.firstNode = mergedFirst;
+        receivingList.sizeOfLinkedList += mergedSize;
+        receivingList.recordSize();
+        for (Node<T> node = mergedFirst; node != mergedLast.next; node = node.next) {
+            receivingList.filterAdd(node.value);
+        }
+    }
+
+    /**
+     * Moves all nodes of the provided list to the end of this linked list structure.
+     * O(1) operation unless a membership filter is enabled, the provided list is left empty.
+     *
+     * @param otherList : list whose nodes are appended.
+     */
+    public void concat(CustomLinkedList<T> otherList) {
+        if (otherList == null || otherList == this)
+            throw new IllegalArgumentException();
+
+        if (otherList.isEmpty()) {
+            recordOperation(ListMetrics.Operation.CONCAT, 0);
+            return;
+        }
+
+        int traversed = 0;
+        if (membershipFilter != null) {
+            for (Node<T> currentNode = otherList.firstNode; currentNode != null; currentNode = currentNode.next) {
+                membershipFilter.add(currentNode.value);
+                traversed++;
+            }
+        }
+
+        if (isEmpty())
+            firstNode = otherList.firstNode;
+        else
+            lastNode.next = otherList.firstNode;
+
+        lastNode = otherList.lastNode;
+        sizeOfLinkedList += otherList.sizeOfLinkedList;
+        invalidateCheckpoints();
+        otherList.clear();
+        recordOperation(ListMetrics.Operation.CONCAT, traversed);
+    }
+
+    /**
+     * Splits the linked list structure at the provided index. Nodes from the index onwards are moved
+     * to a new list without being copied.
+     *
+     * @param idx : index of the first node to move.
+     * @return returns a list holding the nodes from the provided index onwards.
+     */
+    public CustomLinkedList<T> splitAt(int idx) {
+        if (idx < 0 || idx > sizeOfLinkedList)
+            throw new IllegalArgumentException();
+
+        CustomLinkedList<T> tailList = new CustomLinkedList<>();
+        if (idx == sizeOfLinkedList) {
+            recordOperation(ListMetrics.Operation.SPLIT, 0);
+            return tailList;
+        }
+
+        if (idx == 0) {
+            tailList.concat(this);
+            recordOperation(ListMetrics.Operation.SPLIT, 0);
+            return tailList;
+        }
+
+        Node<T> currentNode = firstNode;
+        for (int ctr = 1; ctr < idx; ctr++) {
+            currentNode = currentNode.next;
+        }
+
+        tailList.firstNode = currentNode.next;
+        tailList.lastNode = lastNode;
+        if (membershipFilter != null) {
+            for (Node<T> movedNode = tailList.firstNode; movedNode != null; movedNode = movedNode.next) {
+                membershipFilter.remove(movedNode.value);
+            }
+        }
+        tailList.sizeOfLinkedList = sizeOfLinkedList - idx;
+
+        currentNode.next = null;
+        lastNode = currentNode;
+        sizeOfLinkedList = idx;
+        invalidateCheckpoints();
+        recordOperation(ListMetrics.Operation.SPLIT, idx);
+        return tailList;
+    }
+
+    /**
+     * Moves all nodes whose value matches the provided predicate to a new list. Nodes are relinked
+     * rather than copied and both lists keep their original relative order. The predicate is tested
+     * on every value before any node is relinked, so a predicate that throws leaves the list untouched.
+     *
+     * @param predicate : condition selecting the nodes to move.
+     * @return returns a list holding the matching nodes.
+     */
+    public CustomLinkedList<T> partition(Predicate<? super T> predicate) {
+        if (predicate == null)
+            throw new IllegalArgumentException();
+
+        BitSet matches = new BitSet(sizeOfLinkedList);
+        int idx = 0;
+        for (Node<T> currentNode = firstNode; currentNode != null; currentNode = currentNode.next) {
+            if (predicate.test(currentNode.value))
+                matches.set(idx);
+            idx++;
+        }
+
+        CustomLinkedList<T> matchingList = new CustomLinkedList<>();
+        if (matches.isEmpty()) {
+            recordOperation(ListMetrics.Operation.PARTITION, idx);
+            return matchingList;
+        }
+
+        Node<T> keptFirst = null;
+        Node<T> keptLast = null;
+        Node<T> movedFirst = null;
+        Node<T> movedLast = null;
+        Node<T> currentNode = firstNode;
+        for (idx = 0; currentNode != null; idx++) {
+            Node<T> nextNode = currentNode.next;
+            currentNode.next = null;
+            if (matches.get(idx)) {
+                filterRemove(currentNode.value);
+                if (movedLast == null)
+                    movedFirst = currentNode;
+                else
+                    movedLast.next = currentNode;
+                movedLast = currentNode;
+            } else {
+                if (keptLast == null)
+                    keptFirst = currentNode;
+                else
+                    keptLast.next = currentNode;
+                keptLast = currentNode;
+            }
+            currentNode = nextNode;
+        }
+
+        firstNode = keptFirst;
+        lastNode = keptLast;
+        sizeOfLinkedList -= matches.cardinality();
+        invalidateCheckpoints();
+
+        matchingList.firstNode = movedFirst;
+        matchingList.lastNode = movedLast;
+        matchingList.sizeOfLinkedList = matches.cardinality();
+        recordOperation(ListMetrics.Operation.PARTITION, 2L * idx);
+        return matchingList;
+    }
+
+    /**
+     * Returns a lazy view over the values of the linked list structure. Filter, map and limit stages are
+     * fused and only run when a terminal operation walks the node chain, which happens once and stops
+     * as soon as a limit is reached.
+     */
+    public View<T> view() {
+        return new View<>(this, sink -> {
+            for (Node<T> currentNode = firstNode; currentNode != null; currentNode = currentNode.next) {
+                if (!sink.accept(currentNode.value))
+                    return;
+            }
+        });
+    }
+
+    /**
+     * Creates a new node with the provided value and links it after the last node.
+     * O(1) operation.
+     *
+     * @param value : value of the new node.
+     */
+    private void linkLast(T value) {
+        if (value == null)
+            throw new IllegalArgumentException();
+
+        Node<T> node = newNode(value);
+        filterAdd(value);
+        if (isEmpty())
+            firstNode = lastNode = node;
+        else
+            lastNode = lastNode.next = node;
+
+        sizeOfLinkedList++;
+        checkpointAppended(node);
+        recordOperation(ListMetrics.Operation.ADD, 0);
     }
 
     /**
@@ -566,9 +1276,270 @@ public class CustomLinkedList<T> {
             currentNode = currentNode.next;
         }
 
+        recordOperation(ListMetrics.Operation.TO_ARRAY, counter);
+        return array;
+    }
+
+    /**
+     * Returns the linked list as an array. Fixed size segments of the list are copied concurrently
+     * on the common fork-join pool once the list reaches the parallelism threshold.
+     */
+    public Object[] parallelToArray() {
+        if (sizeOfLinkedList < parallelismThreshold)
+            return toArray();
+
+        Object[] array = new Object[sizeOfLinkedList];
+        Node<T>[] segmentHeads = checkpoints();
+        invokeOnSegments(segment -> {
+            int counter = segmentStart(segment);
+            Node<T> currentNode = segmentHeads[segment];
+            for (int i = segmentLength(segment); i > 0; i--) {
+                array[counter++] = currentNode.value;
+                currentNode = currentNode.next;
+            }
+        });
+
+        recordOperation(ListMetrics.Operation.TO_ARRAY, sizeOfLinkedList);
         return array;
     }
 
+    /**
+     * Returns whether a node with the provided value exists. Fixed size segments of the list are searched
+     * concurrently on the common fork-join pool once the list reaches the parallelism threshold, and all
+     * segments stop as soon as one of them finds the value. Values rejected by the membership filter
+     * return without starting any segment. Unless the search policy is STATIC, segments only stop for a
+     * hit in an earlier segment, and the policy is applied to the first occurrence as in contains.
+     *
+     * @param value : value of the node to search.
+     */
+    public boolean parallelContains(T value) {
+        if (sizeOfLinkedList < parallelismThreshold)
+            return contains(value);
+
+        if (definitelyAbsent(value)) {
+            recordOperation(ListMetrics.Operation.CONTAINS, 0);
+            return false;
+        }
+
+        boolean needsFirstOccurrence = searchPolicy != SearchPolicy.STATIC;
+        AtomicInteger firstHitSegment = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicInteger traversed = new AtomicInteger();
+        Node<T>[] segmentHeads = checkpoints();
+        int[] hitOffsets = new int[checkpointCount];
+        invokeOnSegments(segment -> {
+            //A segment stops once any segment found the value, or only an earlier one if the policy needs the first hit.
+            int lastStoppingSegment = needsFirstOccurrence ? segment : Integer.MAX_VALUE - 1;
+            Node<T> currentNode = segmentHeads[segment];
+            int segmentTraversed = 0;
+            for (int i = segmentLength(segment); i > 0 && firstHitSegment.get() > lastStoppingSegment; i--) {
+                if (currentNode.value.equals(value)) {
+                    hitOffsets[segment] = segmentTraversed;
+                    firstHitSegment.accumulateAndGet(segment, Math::min);
+                    break;
+                }
+                currentNode = currentNode.next;
+                segmentTraversed++;
+            }
+            traversed.addAndGet(segmentTraversed);
+        });
+
+        int hitSegment = firstHitSegment.get();
+        if (hitSegment == Integer.MAX_VALUE || !needsFirstOccurrence) {
+            recordOperation(ListMetrics.Operation.CONTAINS, traversed.get());
+            return hitSegment != Integer.MAX_VALUE;
+        }
+
+        //The policy needs the two predecessors of the hit, walk to it from a checkpoint at least two nodes before.
+        int hitIdx = segmentStart(hitSegment) + hitOffsets[hitSegment];
+        int startSegment = hitSegment;
+        while (startSegment > 0 && segmentStart(startSegment) > hitIdx - 2) {
+            startSegment--;
+        }
+
+        Node<T> beforePreviousNode = null;
+        Node<T> previousNode = null;
+        Node<T> currentNode = segmentHeads[startSegment];
+        for (int idx = segmentStart(startSegment); idx < hitIdx; idx++) {
+            beforePreviousNode = previousNode;
+            previousNode = currentNode;
+            currentNode = currentNode.next;
+        }
+
+        recordOperation(ListMetrics.Operation.CONTAINS, traversed.get() + hitIdx - segmentStart(startSegment));
+        reorganize(currentNode, previousNode, beforePreviousNode);
+        return true;
+    }
+
+    /**
+     * Sets the size from which the parallel operations split the list into segments, smaller lists
+     * are processed serially.
+     *
+     * @param threshold : minimum number of nodes for a parallel operation.
+     */
+    public void setParallelismThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException();
+
+        this.parallelismThreshold = threshold;
+    }
+
+    /**
+     * Returns the first node of every segment, sampling the chain again only if a change other
+     * than an append dropped the last sample. The first segment may be shorter than the others
+     * after a reverse, every segment but the first and the last holds exactly spacing nodes.
+     */
+    private Node<T>[] checkpoints() {
+        if (checkpoints != null)
+            return checkpoints;
+
+        int segments = Math.min(sizeOfLinkedList,
+                ForkJoinPool.getCommonPoolParallelism() * SEGMENTS_PER_WORKER);
+        checkpointSpacing = (sizeOfLinkedList + segments - 1) / segments;
+        firstSegmentLength = checkpointSpacing;
+        checkpointCount = (sizeOfLinkedList + checkpointSpacing - 1) / checkpointSpacing;
+        checkpoints = newNodeArray(checkpointCount);
+
+        int idx = 0;
+        Node<T> currentNode = firstNode;
+        while (currentNode != null) {
+            if (idx % checkpointSpacing == 0)
+                checkpoints[idx / checkpointSpacing] = currentNode;
+            currentNode = currentNode.next;
+            idx++;
+        }
+
+        return checkpoints;
+    }
+
+    /**
+     * Drops the checkpoints, so removed nodes are not kept reachable through them.
+     */
+    private void invalidateCheckpoints() {
+        checkpoints = null;
+    }
+
+    /**
+     * Keeps the checkpoints valid after an append, starting a new segment once the last one is full.
+     *
+     * @param node : Node appended at the end of the list.
+     */
+    private void checkpointAppended(Node<T> node) {
+        if (checkpoints == null)
+            return;
+
+        int idx = sizeOfLinkedList - 1;
+        if (idx < firstSegmentLength || (idx - firstSegmentLength) % checkpointSpacing != 0)
+            return;
+
+        if (checkpointCount == checkpoints.length)
+            checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+        checkpoints[checkpointCount++] = node;
+    }
+
+    private int segmentStart(int segment) {
+        return segment == 0 ? 0 : firstSegmentLength + (segment - 1) * checkpointSpacing;
+    }
+
+    private int segmentLength(int segment) {
+        int segmentEnd = segment + 1 < checkpointCount ? segmentStart(segment + 1) : sizeOfLinkedList;
+        return segmentEnd - segmentStart(segment);
+    }
+
+    private void invokeOnSegments(IntConsumer action) {
+        ForkJoinPool.commonPool().invoke(new SegmentTask(0, checkpointCount, action));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    /**
+     * Enables a counting Bloom filter over the values of the list. Lookups and removals of values the
+     * filter has never seen return or fail immediately instead of walking the whole list. The filter
+     * is kept up to date on every add and removal and supports deletes.
+     *
+     * @param expectedElements  : number of values the filter is sized for.
+     * @param falsePositiveRate : probability of a missing value still walking the list, between 0 and 1.
+     */
+    public void enableMembershipFilter(int expectedElements, double falsePositiveRate) {
+        if (expectedElements < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException();
+
+        membershipFilter = new CountingBloomFilter(expectedElements, falsePositiveRate);
+        for (Node<T> currentNode = firstNode; currentNode != null; currentNode = currentNode.next) {
+            membershipFilter.add(currentNode.value);
+        }
+    }
+
+    /**
+     * Disables the membership filter.
+     */
+    public void disableMembershipFilter() {
+        membershipFilter = null;
+    }
+
+    private boolean definitelyAbsent(T value) {
+        return membershipFilter != null && (value == null || !membershipFilter.mightContain(value));
+    }
+
+    private void filterAdd(T value) {
+        if (membershipFilter != null)
+            membershipFilter.add(value);
+    }
+
+    private void filterRemove(T value) {
+        if (membershipFilter != null)
+            membershipFilter.remove(value);
+    }
+
+    /**
+     * Starts recording operation metrics for this list. While metrics are disabled every operation
+     * only pays for a null check.
+     *
+     * @return returns the metrics of this list.
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null)
+            metrics = new ListMetrics();
+
+        return metrics;
+    }
+
+    /**
+     * Stops recording operation metrics for this list.
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Returns the metrics of this list, null if metrics are disabled.
+     */
+    public ListMetrics metrics() {
+        return metrics;
+    }
+
+    private void recordOperation(ListMetrics.Operation operation, long nodesTraversed) {
+        if (metrics != null)
+            metrics.record(operation, nodesTraversed, sizeOfLinkedList);
+    }
+
+    /**
+     * Updates the peak size after a size change made on behalf of another list's operation.
+     */
+    private void recordSize() {
+        if (metrics != null)
+            metrics.recordSize(sizeOfLinkedList);
+    }
+
+    private Node<T> newNode(T value) {
+        if (metrics != null)
+            metrics.recordAllocation();
+
+        return new Node<>(value);
+    }
+
     /**
      * Returns the size of the linked list.
      */
@@ -593,6 +1564,9 @@ public class CustomLinkedList<T> {
 
         firstNode = lastNode = null;
         sizeOfLinkedList = 0;
+        invalidateCheckpoints();
+        if (membershipFilter != null)
+            membershipFilter.clear();
     }
 
     /**
@@ -602,19 +1576,288 @@ public class CustomLinkedList<T> {
         if (firstNode == null)
             return;
 
-        Node<T> currentNode = firstNode;
-        while (currentNode != null) {
-            if (currentNode.next != null)
-                System.out.print(currentNode.value.toString().concat(" -> "));
-            else
-                System.out.println(currentNode.value);
-            currentNode = currentNode.next;
+        try {
+            writeTo(System.out);
+            System.out.println();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the structure in a graphical representation to the provided Appendable, such as a Writer,
+     * through a reusable buffer.
+     *
+     * @param out : destination of the values.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, " -> ", Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Writes the values of the structure to the provided Appendable through a reusable buffer. Lists longer
+     * than first + last values are truncated to their first and last values and the number of elided values.
+     *
+     * @param out       : destination of the values.
+     * @param separator : text written between two values.
+     * @param first     : number of values written from the start of the list.
+     * @param last      : number of values written from the end of the list.
+     */
+    public void writeTo(Appendable out, String separator, int first, int last) throws IOException {
+        ListWriter.write(this::valueIterator, sizeOfLinkedList, out, separator, first, last);
+    }
+
+    /**
+     * Writes the values of the structure to the provided channel as UTF-8 through a reusable buffer. Lists
+     * longer than first + last values are truncated to their first and last values and the number of elided values.
+     *
+     * @param channel   : destination of the values.
+     * @param separator : text written between two values.
+     * @param first     : number of values written from the start of the list.
+     * @param last      : number of values written from the end of the list.
+     */
+    public void writeTo(WritableByteChannel channel, String separator, int first, int last) throws IOException {
+        ListWriter.write(this::valueIterator, sizeOfLinkedList, channel, separator, first, last);
+    }
+
+    /**
+     * Returns an iterator over the values starting at the provided index. Skipped nodes are only walked,
+     * their values are never read.
+     *
+     * @param fromIdx : index of the first value.
+     */
+    private Iterator<T> valueIterator(int fromIdx) {
+        Node<T> fromNode = firstNode;
+        for (int idx = 0; idx < fromIdx && fromNode != null; idx++) {
+            fromNode = fromNode.next;
+        }
+
+        Node<T> startNode = fromNode;
+        return new Iterator<T>() {
+            private Node<T> currentNode = startNode;
+
+            @Override
+            public boolean hasNext() {
+                return currentNode != null;
+            }
+
+            @Override
+            public T next() {
+                if (currentNode == null)
+                    throw new NoSuchElementException();
+
+                T value = currentNode.value;
+                currentNode = currentNode.next;
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Lazy pipeline of stages over the values of a linked list. Each stage only wraps the sink of the
+     * next one, so running the pipeline allocates per terminal operation and never per value.
+     */
+    public static final class View<E> {
+        private final CustomLinkedList<?> source;
+        private final Pipeline<E> pipeline;
+
+        private View(CustomLinkedList<?> source, Pipeline<E> pipeline) {
+            this.source = source;
+            this.pipeline = pipeline;
+        }
+
+        /**
+         * Keeps only the values matching the provided predicate.
+         *
+         * @param predicate : condition values must match.
+         */
+        public View<E> filter(Predicate<? super E> predicate) {
+            if (predicate == null)
+                throw new IllegalArgumentException();
+
+            return new View<>(source, sink -> pipeline.run(value -> !predicate.test(value) || sink.accept(value)));
+        }
+
+        /**
+         * Transforms every value with the provided function.
+         *
+         * @param mapper : function applied to the values.
+         */
+        public <R> View<R> map(Function<? super E, ? extends R> mapper) {
+            if (mapper == null)
+                throw new IllegalArgumentException();
+
+            return new View<>(source, sink -> pipeline.run(value -> sink.accept(mapper.apply(value))));
+        }
+
+        /**
+         * Stops the walk after the provided number of values passed this stage.
+         *
+         * @param maxSize : maximum number of values.
+         */
+        public View<E> limit(int maxSize) {
+            if (maxSize < 0)
+                throw new IllegalArgumentException();
+
+            return new View<>(source, sink -> {
+                if (maxSize == 0)
+                    return;
+
+                int[] remaining = {maxSize};
+                pipeline.run(value -> sink.accept(value) && --remaining[0] > 0);
+            });
+        }
+
+        /**
+         * Walks the list once and passes every value reaching the end of the pipeline to the provided action.
+         *
+         * @param action : action applied to the values.
+         */
+        public void forEach(Consumer<? super E> action) {
+            if (action == null)
+                throw new IllegalArgumentException();
+
+            pipeline.run(value -> {
+                action.accept(value);
+                return true;
+            });
+        }
+
+        /**
+         * Walks the list once and appends every value reaching the end of the pipeline to the provided list.
+         * The target cannot be the list the view walks, as the walk would reach the appended values.
+         *
+         * @param target : list the values are appended to.
+         */
+        public void collectInto(CustomLinkedList<? super E> target) {
+            if (target == null || target == source)
+                throw new IllegalArgumentException();
+
+            pipeline.run(value -> appendTo(target, value));
+        }
+
+        private static <S> boolean appendTo(CustomLinkedList<S> target, S value) {
+            target.linkLast(value);
+            return true;
+        }
+
+        /**
+         * Walks the list once and returns the number of values reaching the end of the pipeline.
+         */
+        public long count() {
+            long[] counter = {0};
+            pipeline.run(value -> {
+                counter[0]++;
+                return true;
+            });
+
+            return counter[0];
+        }
+    }
+
+    private interface Pipeline<E> {
+        void run(Sink<? super E> sink);
+    }
+
+    private interface Sink<E> {
+        /**
+         * Accepts a value and returns whether the walk should continue.
+         */
+        boolean accept(E value);
+    }
+
+    private static class SegmentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromSegment;
+        private final int toSegment;
+        private final IntConsumer action;
+
+        public SegmentTask(int fromSegment, int toSegment, IntConsumer action) {
+            this.fromSegment = fromSegment;
+            this.toSegment = toSegment;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (toSegment - fromSegment == 1) {
+                action.accept(fromSegment);
+                return;
+            }
+
+            int midSegment = (fromSegment + toSegment) >>> 1;
+            invokeAll(new SegmentTask(fromSegment, midSegment, action),
+                    new SegmentTask(midSegment, toSegment, action));
+        }
+    }
+
+    private static class CountingBloomFilter {
+        private static final int SATURATED = 0xFF;
+
+        private final byte[] counters;
+        private final int hashFunctions;
+
+        public CountingBloomFilter(int expectedElements, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long size = (long) Math.ceil(-expectedElements * Math.log(falsePositiveRate) / (ln2 * ln2));
+            counters = new byte[(int) Math.min(Math.max(size, 1), Integer.MAX_VALUE - 8)];
+            hashFunctions = (int) Math.max(1, Math.round((double) counters.length / expectedElements * ln2));
+        }
+
+        void add(Object value) {
+            long hash = hash(value);
+            for (int i = 0; i < hashFunctions; i++) {
+                int idx = index(hash, i);
+                if ((counters[idx] & SATURATED) != SATURATED)
+                    counters[idx]++;
+            }
+        }
+
+        void remove(Object value) {
+            long hash = hash(value);
+            for (int i = 0; i < hashFunctions; i++) {
+                //Saturated counters have lost their exact count and must never be decremented.
+                int idx = index(hash, i);
+                int counter = counters[idx] & SATURATED;
+                if (counter != SATURATED && counter != 0)
+                    counters[idx]--;
+            }
+        }
+
+        boolean mightContain(Object value) {
+            long hash = hash(value);
+            for (int i = 0; i < hashFunctions; i++) {
+                if (counters[index(hash, i)] == 0)
+                    return false;
+            }
+
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(counters, (byte) 0);
+        }
+
+        private int index(long hash, int i) {
+            int combinedHash = (int) hash + i * (int) (hash >>> 32);
+            return (combinedHash & Integer.MAX_VALUE) % counters.length;
+        }
+
+        private static long hash(Object value) {
+            long hash = value.hashCode();
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
         }
     }
 
     private static class Node<T> {
         private final T value;
         private Node<T> next;
+        private int hits;
 
         public Node(T value) {
             this.value = value;
@@ -0,0 +1,256 @@
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Operation metrics of a list. Every public list operation records one operation, except addAll and
+ * View.collectInto, which record one ADD per value. Clearing, printing, writing, walks of views,
+ * membership filters, window aggregates and expiry are not recorded. The peak size is updated on every
+ * size increase.
+ * Counters are atomic so JMX threads read current values, but a snapshot reads them one by one and is
+ * not consistent across counters while the list is being modified.
+ */
+public class ListMetrics implements ListMetricsMXBean {
+
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final AtomicLongArray operationCounts = new AtomicLongArray(Operation.values().length);
+    private final AtomicLongArray nodesTraversed = new AtomicLongArray(Operation.values().length);
+    private final AtomicLongArray traversalHistograms = new AtomicLongArray(Operation.values().length * BUCKETS);
+    private final AtomicLong allocationCount = new AtomicLong();
+    private final AtomicInteger peakSize = new AtomicInteger();
+    private ObjectName objectName;
+
+    /**
+     * Operations recorded by the list implementations.
+     */
+    public enum Operation {
+        ADD, ADD_FIRST, ADD_AT_INDEX, CONTAINS, GET, REMOVE_FIRST, REMOVE_LAST, REMOVE_OCCURRENCE,
+        INSERT_MIDDLE, REMOVE_MIDDLE, UNLINK, MOVE_TO_FRONT, TO_ARRAY, REVERSE, SORT, DEDUPLICATE,
+        CONCAT, SPLIT, PARTITION
+    }
+
+    /**
+     * Records a call of the provided operation. Traversal lengths are kept in a histogram of
+     * power of two buckets, so recording is constant time and allocation free.
+     *
+     * @param operation      : Operation that was called.
+     * @param nodesTraversed : Number of nodes the call walked.
+     * @param size           : Size of the list after the call.
+     */
+    void record(Operation operation, long nodesTraversed, int size) {
+        int ordinal = operation.ordinal();
+        operationCounts.incrementAndGet(ordinal);
+        this.nodesTraversed.addAndGet(ordinal, nodesTraversed);
+        traversalHistograms.incrementAndGet(ordinal * BUCKETS + Long.SIZE - Long.numberOfLeadingZeros(nodesTraversed));
+        recordSize(size);
+    }
+
+    /**
+     * Records the size of the list after a change that is not an operation of its own.
+     *
+     * @param size : Size of the list after the change.
+     */
+    void recordSize(int size) {
+        if (size > peakSize.get())
+            peakSize.accumulateAndGet(size, Math::max);
+    }
+
+    /**
+     * Records the allocation of a node.
+     */
+    void recordAllocation() {
+        allocationCount.incrementAndGet();
+    }
+
+    /**
+     * Returns a copy of the metrics recorded so far.
+     */
+    public Snapshot snapshot() {
+        int operations = operationCounts.length();
+        long[] counts = new long[operations];
+        long[] traversed = new long[operations];
+        long[][] histograms = new long[operations][BUCKETS];
+        for (int i = 0; i < operations; i++) {
+            counts[i] = operationCounts.get(i);
+            traversed[i] = nodesTraversed.get(i);
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                histograms[i][bucket] = traversalHistograms.get(i * BUCKETS + bucket);
+            }
+        }
+
+        return new Snapshot(counts, traversed, histograms, allocationCount.get(), peakSize.get());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server.
+     *
+     * @param name : Name distinguishing this list from other registered lists.
+     * @return The object name the metrics were registered under.
+     */
+    public synchronized ObjectName register(String name) {
+        if (name == null)
+            throw new IllegalArgumentException();
+
+        if (objectName != null)
+            throw new IllegalStateException("Metrics are already registered as " + objectName);
+
+        try {
+            ObjectName newObjectName = new ObjectName("PlugAndPlay:type=ListMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, newObjectName);
+            objectName = newObjectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server.
+     */
+    public synchronized void unregister() {
+        if (objectName == null)
+            return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Snapshot snapshot = snapshot();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            counts.put(operation.name(), snapshot.operationCount(operation));
+        }
+
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getNodesTraversed() {
+        Snapshot snapshot = snapshot();
+        Map<String, Long> traversed = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            traversed.put(operation.name(), snapshot.nodesTraversed(operation));
+        }
+
+        return traversed;
+    }
+
+    @Override
+    public Map<String, Long> getNodesTraversedP99() {
+        Snapshot snapshot = snapshot();
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            percentiles.put(operation.name(), snapshot.nodesTraversedPercentile(operation, 99));
+        }
+
+        return percentiles;
+    }
+
+    @Override
+    public long getAllocationCount() {
+        return allocationCount.get();
+    }
+
+    @Override
+    public int getPeakSize() {
+        return peakSize.get();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < operationCounts.length(); i++) {
+            operationCounts.set(i, 0);
+            nodesTraversed.set(i, 0);
+        }
+
+        for (int i = 0; i < traversalHistograms.length(); i++) {
+            traversalHistograms.set(i, 0);
+        }
+
+        allocationCount.set(0);
+        peakSize.set(0);
+    }
+
+    /**
+     * Point in time copy of the recorded metrics.
+     */
+    public static final class Snapshot {
+        private final long[] operationCounts;
+        private final long[] nodesTraversed;
+        private final long[][] traversalHistograms;
+        private final long allocationCount;
+        private final int peakSize;
+
+        private Snapshot(long[] operationCounts, long[] nodesTraversed, long[][] traversalHistograms,
+                         long allocationCount, int peakSize) {
+            this.operationCounts = operationCounts;
+            this.nodesTraversed = nodesTraversed;
+            this.traversalHistograms = traversalHistograms;
+            this.allocationCount = allocationCount;
+            this.peakSize = peakSize;
+        }
+
+        /**
+         * Returns the number of calls of the provided operation.
+         */
+        public long operationCount(Operation operation) {
+            return operationCounts[operation.ordinal()];
+        }
+
+        /**
+         * Returns the total number of nodes walked by the provided operation.
+         */
+        public long nodesTraversed(Operation operation) {
+            return nodesTraversed[operation.ordinal()];
+        }
+
+        /**
+         * Returns an upper bound of the nodes walked by the provided percentage of calls of the operation.
+         * The bound is exact up to the power of two bucket the percentile falls in.
+         *
+         * @param operation  : Operation to inspect.
+         * @param percentile : Percentage of calls between 0 and 100.
+         */
+        public long nodesTraversedPercentile(Operation operation, double percentile) {
+            if (percentile < 0 || percentile > 100)
+                throw new IllegalArgumentException();
+
+            long[] histogram = traversalHistograms[operation.ordinal()];
+            long threshold = (long) Math.ceil(operationCounts[operation.ordinal()] * percentile / 100);
+            long seen = 0;
+            for (int bucket = 0; bucket < histogram.length; bucket++) {
+                seen += histogram[bucket];
+                if (seen >= threshold && seen > 0)
+                    return bucket == Long.SIZE ? Long.MAX_VALUE : (1L << bucket) - 1;
+            }
+
+            return 0;
+        }
+
+        /**
+         * Returns the number of nodes allocated.
+         */
+        public long allocationCount() {
+            return allocationCount;
+        }
+
+        /**
+         * Returns the largest size the list reached.
+         */
+        public int peakSize() {
+            return peakSize;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+import java.util.Map;
+
+/**
+ * JMX view of the operation metrics recorded by a {@link ListMetrics} instance.
+ */
+public interface ListMetricsMXBean {
+
+    /**
+     * Returns the number of calls per operation.
+     */
+    Map<String, Long> getOperationCounts();
+
+    /**
+     * Returns the total number of nodes walked per operation.
+     */
+    Map<String, Long> getNodesTraversed();
+
+    /**
+     * Returns the 99th percentile of nodes walked by a single call per operation.
+     */
+    Map<String, Long> getNodesTraversedP99();
+
+    /**
+     * Returns the number of nodes allocated.
+     */
+    long getAllocationCount();
+
+    /**
+     * Returns the largest size the list reached.
+     */
+    int getPeakSize();
+
+    /**
+     * Resets all recorded metrics.
+     */
+    void reset();
+}
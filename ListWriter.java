@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.IntFunction;
+
+/**
+ * Streams the values of a list through a single reusable buffer, so large lists are written
+ * in a few large writes instead of one write per value.
+ */
+final class ListWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ListWriter() {
+    }
+
+    /**
+     * Writes the provided values to an Appendable.
+     *
+     * @param values    : Iterator over the values of the list starting at the provided index.
+     * @param size      : Number of values.
+     * @param out       : Destination of the values.
+     * @param separator : Text written between two values.
+     * @param first     : Number of values written from the start of the list.
+     * @param last      : Number of values written from the end of the list.
+     */
+    static void write(IntFunction<? extends Iterator<?>> values, int size, Appendable out, String separator,
+                      int first, int last) throws IOException {
+        if (out == null)
+            throw new IllegalArgumentException();
+
+        write(values, size, separator, first, last, buffer -> {
+            out.append(buffer);
+            buffer.setLength(0);
+        });
+    }
+
+    /**
+     * Writes the provided values to a channel encoded as UTF-8.
+     *
+     * @param values    : Iterator over the values of the list starting at the provided index.
+     * @param size      : Number of values.
+     * @param channel   : Destination of the values.
+     * @param separator : Text written between two values.
+     * @param first     : Number of values written from the start of the list.
+     * @param last      : Number of values written from the end of the list.
+     */
+    static void write(IntFunction<? extends Iterator<?>> values, int size, WritableByteChannel channel,
+                      String separator, int first, int last) throws IOException {
+        if (channel == null)
+            throw new IllegalArgumentException();
+
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 2);
+        StringBuilder leftover = write(values, size, separator, first, last,
+                buffer -> encode(encoder, buffer, bytes, channel, false));
+
+        //A dangling high surrogate left at the end of the input is encoded as malformed input.
+        encode(encoder, leftover, bytes, channel, true);
+        while (encoder.flush(bytes).isOverflow()) {
+            writeFully(channel, bytes);
+        }
+        writeFully(channel, bytes);
+    }
+
+    private static void encode(CharsetEncoder encoder, StringBuilder buffer, ByteBuffer bytes,
+                               WritableByteChannel channel, boolean endOfInput) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, endOfInput);
+            writeFully(channel, bytes);
+        } while (result.isOverflow());
+
+        //A high surrogate at the end of the buffer stays until its low surrogate arrives.
+        buffer.delete(0, chars.position());
+    }
+
+    /**
+     * Writes the values through the flusher and returns the buffer with any characters the flusher kept.
+     * Elided values are skipped by starting a second iterator at the first value written from the end.
+     */
+    private static StringBuilder write(IntFunction<? extends Iterator<?>> values, int size, String separator,
+                                       int first, int last, Flusher flusher) throws IOException {
+        if (separator == null || first < 0 || last < 0)
+            throw new IllegalArgumentException();
+
+        int elidedFrom = (long) first + last >= size ? size : first;
+        int elidedTo = size - last;
+
+        StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 64);
+        append(values.apply(0), 0, elidedFrom, separator, buffer, flusher);
+        if (elidedFrom < size) {
+            if (elidedFrom > 0)
+                buffer.append(separator);
+            buffer.append("... (").append(elidedTo - elidedFrom).append(" elided)");
+
+            if (elidedTo < size)
+                append(values.apply(elidedTo), elidedTo, size, separator, buffer, flusher);
+        }
+
+        if (buffer.length() > 0)
+            flusher.flush(buffer);
+        return buffer;
+    }
+
+    private static void append(Iterator<?> values, int fromIdx, int toIdx, String separator,
+                               StringBuilder buffer, Flusher flusher) throws IOException {
+        for (int idx = fromIdx; idx < toIdx && values.hasNext(); idx++) {
+            if (idx > 0)
+                buffer.append(separator);
+            buffer.append(values.next());
+
+            if (buffer.length() >= BUFFER_SIZE)
+                flusher.flush(buffer);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer bytes) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private interface Flusher {
+        void flush(StringBuilder buffer) throws IOException;
+    }
+}
@@ -0,0 +1,254 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+public class LruCache<K, V> {
+
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    private final Map<K, CustomDoublyLinkedList.Node<Entry<K, V>>> entries = new HashMap<>();
+    private final CustomDoublyLinkedList<Entry<K, V>> recencyList = new CustomDoublyLinkedList<>("queue");
+    private final CustomDoublyLinkedList<Entry<K, V>> protectedList = new CustomDoublyLinkedList<>("queue");
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final EvictionPolicy policy;
+    private final long maximumWeight;
+    private final long maximumProtectedWeight;
+    private long weight;
+    private long protectedWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Eviction policies supported by the cache.
+     * LRU : evicts the least recently used entry.
+     * SEGMENTED_LRU : new entries start in a probation segment and are promoted to a protected segment
+     * on their second use, so a single scan cannot flush frequently used entries.
+     * CLOCK : hits only set a reference bit, entries with the bit set get a second chance on eviction.
+     */
+    public enum EvictionPolicy {
+        LRU, SEGMENTED_LRU, CLOCK
+    }
+
+    /**
+     * Parametrized constructor for a size bounded LRU cache.
+     *
+     * @param maximumSize : Maximum number of entries.
+     */
+    public LruCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Parametrized constructor for a weight bounded cache.
+     *
+     * @param maximumWeight : Maximum total weight of all entries.
+     * @param weigher       : Function returning the weight of an entry.
+     * @param policy        : Eviction policy of the cache.
+     */
+    public LruCache(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher, EvictionPolicy policy) {
+        if (maximumWeight < 0 || weigher == null || policy == null)
+            throw new IllegalArgumentException();
+
+        this.maximumWeight = maximumWeight;
+        //Dividing first for large weights keeps the product from overflowing.
+        this.maximumProtectedWeight = maximumWeight <= Long.MAX_VALUE / PROTECTED_PERCENTAGE
+                ? maximumWeight * PROTECTED_PERCENTAGE / 100
+                : maximumWeight / 100 * PROTECTED_PERCENTAGE;
+        this.weigher = weigher;
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the value mapped to the provided key and records the access.
+     * O(1) operation.
+     *
+     * @param key : Key to look up.
+     * @return Value mapped to the key, null on a miss.
+     */
+    public V get(K key) {
+        CustomDoublyLinkedList.Node<Entry<K, V>> node = entries.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        recordAccess(node);
+        return node.value().value;
+    }
+
+    /**
+     * Maps the provided value to the provided key and evicts entries until the cache is within its capacity.
+     * O(1) amortized operation.
+     *
+     * @param key   : Key of the entry.
+     * @param value : Value of the entry.
+     */
+    public void put(K key, V value) {
+        if (key == null || value == null)
+            throw new IllegalArgumentException();
+
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight < 0)
+            throw new IllegalArgumentException();
+
+        CustomDoublyLinkedList.Node<Entry<K, V>> node = entries.get(key);
+        if (node != null) {
+            Entry<K, V> entry = node.value();
+            weight += entryWeight - entry.weight;
+            if (entry.isProtected)
+                protectedWeight += entryWeight - entry.weight;
+
+            entry.value = value;
+            entry.weight = entryWeight;
+            recordAccess(node);
+            demoteProtectedOverflow();
+        } else {
+            node = new CustomDoublyLinkedList.Node<>(new Entry<>(key, value, entryWeight));
+            recencyList.addFirstNode(node);
+            entries.put(key, node);
+            weight += entryWeight;
+        }
+
+        evict();
+    }
+
+    /**
+     * Removes the entry of the provided key.
+     * O(1) operation.
+     *
+     * @param key : Key of the entry to remove.
+     * @return Value of the removed entry, null if the key was not cached.
+     */
+    public V remove(K key) {
+        CustomDoublyLinkedList.Node<Entry<K, V>> node = entries.remove(key);
+        if (node == null)
+            return null;
+
+        unlink(node);
+        return node.value().value;
+    }
+
+    private void recordAccess(CustomDoublyLinkedList.Node<Entry<K, V>> node) {
+        Entry<K, V> entry = node.value();
+        switch (policy) {
+            case LRU:
+                recencyList.moveToFront(node);
+                break;
+            case CLOCK:
+                entry.referenced = true;
+                break;
+            case SEGMENTED_LRU:
+                if (entry.isProtected) {
+                    protectedList.moveToFront(node);
+                    break;
+                }
+
+                recencyList.unlink(node);
+                protectedList.addFirstNode(node);
+                entry.isProtected = true;
+                protectedWeight += entry.weight;
+                demoteProtectedOverflow();
+                break;
+        }
+    }
+
+    /**
+     * Moves the least recently used protected entries back to the probation segment until the protected
+     * segment is within its capacity. Demoted entries get another chance there before being evicted.
+     */
+    private void demoteProtectedOverflow() {
+        while (protectedWeight > maximumProtectedWeight) {
+            CustomDoublyLinkedList.Node<Entry<K, V>> demotedNode = protectedList.tailNode();
+            protectedList.unlink(demotedNode);
+            demotedNode.value().isProtected = false;
+            protectedWeight -= demotedNode.value().weight;
+            recencyList.addFirstNode(demotedNode);
+        }
+    }
+
+    private void evict() {
+        while (weight > maximumWeight) {
+            CustomDoublyLinkedList.Node<Entry<K, V>> victimNode = victim();
+            entries.remove(victimNode.value().key);
+            unlink(victimNode);
+            evictionCount++;
+        }
+    }
+
+    private CustomDoublyLinkedList.Node<Entry<K, V>> victim() {
+        if (policy == EvictionPolicy.SEGMENTED_LRU && recencyList.empty())
+            return protectedList.tailNode();
+
+        CustomDoublyLinkedList.Node<Entry<K, V>> victimNode = recencyList.tailNode();
+        while (policy == EvictionPolicy.CLOCK && victimNode.value().referenced) {
+            victimNode.value().referenced = false;
+            recencyList.moveToFront(victimNode);
+            victimNode = recencyList.tailNode();
+        }
+
+        return victimNode;
+    }
+
+    private void unlink(CustomDoublyLinkedList.Node<Entry<K, V>> node) {
+        Entry<K, V> entry = node.value();
+        if (entry.isProtected) {
+            protectedList.unlink(node);
+            protectedWeight -= entry.weight;
+        } else {
+            recencyList.unlink(node);
+        }
+
+        weight -= entry.weight;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total weight of all cached entries.
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached value.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the capacity.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    private static class Entry<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private boolean referenced;
+        private boolean isProtected;
+
+        public Entry(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}